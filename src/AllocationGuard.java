@@ -0,0 +1,260 @@
+import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
+import java.awt.Graphics;
+import java.awt.event.KeyEvent;
+import java.awt.event.KeyListener;
+import java.awt.image.BufferedImage;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+/**
+ * Checks that steady-state gameplay doesn't allocate.
+ * Plays a seeded game on a Board with no window, pressing keys and firing
+ * timer ticks, and paints every frame into an image. After a warm-up, the
+ * thread's allocated-bytes counter must not move during any tick or frame.
+ * Restarting after Game Over is not measured, and pause isn't pressed:
+ * both restart the Swing Timer, which allocates inside Swing.
+ *
+ * Only the game's own code is measured, not Swing around it. Ticks call
+ * actionPerformed() directly rather than through the Timer, whose events
+ * allocate. repaint() is switched off on the measured components, because
+ * it goes into RepaintManager (which, even with no window, now and then
+ * allocates), and frames are painted by calling paintComponent() on an
+ * image. In a real window, RepaintManager's paint path allocates too.
+ *
+ * Usage: java AllocationGuard (exits with status 1 on failure)
+ */
+public class AllocationGuard {
+
+    private static final int WARMUP_STEPS = 20_000;
+    private static final int MEASURED_STEPS = 20_000;
+    private static final int MAX_REPORTED = 10;
+
+    private static final int BOARD_PIXEL_WIDTH = Grid.BOARD_WIDTH * 32;
+    private static final int BOARD_PIXEL_HEIGHT = Grid.BOARD_HEIGHT * 32;
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    // repaint() is RepaintManager's business, not the game's, so it's a no-op here
+    private final StatusBar statusBar = new StatusBar() {
+        @Override
+        public void repaint() {
+        }
+    };
+    private final JPanel frame = new JPanel() {
+        @Override
+        public void repaint() {
+        }
+    };
+    private final PieceSource pieces = new PieceSource(42);
+    private final Board board = new Board(statusBar, frame, pieces) {
+        @Override
+        public void repaint() {
+        }
+    };
+    private final SidePanel sidePanel = new SidePanel(board);
+    private final KeyListener input;
+
+    // Made up front so pressing a key in the loop doesn't allocate
+    private final KeyEvent left;
+    private final KeyEvent right;
+    private final KeyEvent rotate;
+    private final KeyEvent down;
+    private final KeyEvent drop;
+
+    // Script position: which piece we're on and how far through its moves
+    private int pieceIndex = 0;
+    private int move = 0;
+
+    private final Graphics boardGraphics;
+    private final Graphics sideGraphics;
+    private final Graphics statusGraphics;
+
+    // Failures, recorded without allocating
+    private final int[] failedSteps = new int[MAX_REPORTED];
+    private final long[] failedBytes = new long[MAX_REPORTED];
+    private final boolean[] failedInFrame = new boolean[MAX_REPORTED];
+    private int failures = 0;
+    private int restarts = 0;
+
+    /**
+     * Deals seeded random pieces, or only I pieces while onlyIPieces is set.
+     * Standing I pieces side by side is a sure way to clear lines.
+     */
+    private static class PieceSource extends Random {
+        boolean onlyIPieces = false;
+
+        PieceSource(long seed) {
+            super(seed);
+        }
+
+        @Override
+        public int nextInt() {
+            // Shape.setRandomShape(Random) picks values()[|n| % 7 + 1]
+            return onlyIPieces ? Tetrominoe.IShape.ordinal() - 1 : super.nextInt();
+        }
+    }
+
+    public AllocationGuard() {
+        // With the counter off every reading is -1, and nothing would ever fail
+        if (!threads.isThreadAllocatedMemorySupported()) {
+            throw new IllegalStateException("This JVM can't count allocated bytes per thread");
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        board.setSize(BOARD_PIXEL_WIDTH, BOARD_PIXEL_HEIGHT);
+        sidePanel.setSize(sidePanel.getPreferredSize());
+        statusBar.setSize(BOARD_PIXEL_WIDTH, 20);
+        input = board.getKeyListeners()[0];
+
+        left = key(KeyEvent.VK_LEFT);
+        right = key(KeyEvent.VK_RIGHT);
+        rotate = key(KeyEvent.VK_UP);
+        down = key(KeyEvent.VK_DOWN);
+        drop = key(KeyEvent.VK_SPACE);
+
+        boardGraphics = new BufferedImage(BOARD_PIXEL_WIDTH, BOARD_PIXEL_HEIGHT,
+                BufferedImage.TYPE_INT_RGB).createGraphics();
+        sideGraphics = new BufferedImage(sidePanel.getWidth(), sidePanel.getHeight(),
+                BufferedImage.TYPE_INT_RGB).createGraphics();
+        statusGraphics = new BufferedImage(BOARD_PIXEL_WIDTH, 20,
+                BufferedImage.TYPE_INT_RGB).createGraphics();
+    }
+
+    /**
+     * Runs the warm-up and the measured steps, first with random pieces
+     * (which also reaches Game Over) and then with I pieces (which clears lines).
+     * @return true if no measured tick or frame allocated.
+     */
+    public boolean run() {
+        phase(false, WARMUP_STEPS, false);
+        phase(true, WARMUP_STEPS, false);
+
+        restarts = 0;
+        int lines = phase(false, MEASURED_STEPS, true) + phase(true, MEASURED_STEPS, true);
+
+        System.out.println("Measured " + 2 * MEASURED_STEPS + " ticks and frames, "
+                + lines + " lines cleared, " + restarts + " restarts");
+        for (int i = 0; i < Math.min(failures, MAX_REPORTED); i++) {
+            System.out.println("  step " + failedSteps[i] + (failedInFrame[i] ? " (frame)" : " (tick)")
+                    + " allocated " + failedBytes[i] + " bytes");
+        }
+        if (failures > 0) {
+            System.out.println("FAILED: " + failures + " allocating ticks or frames");
+            return false;
+        }
+        if (lines == 0) {
+            System.out.println("FAILED: no lines were cleared, so clearing wasn't exercised");
+            return false;
+        }
+        System.out.println("OK: steady state is allocation-free");
+        return true;
+    }
+
+    /**
+     * Starts a fresh game and plays the given number of steps.
+     * @return The lines cleared, over every game played.
+     */
+    private int phase(boolean onlyIPieces, int steps, boolean measure) {
+        pieces.onlyIPieces = onlyIPieces;
+        int lines = restart();
+        for (int i = 0; i < steps; i++) {
+            if (!board.isStarted()) {
+                lines += restart();
+                restarts++;
+                continue;
+            }
+            step(i, measure);
+        }
+        return lines + board.getLinesCleared();
+    }
+
+    /**
+     * Starts a new game. Not measured: starting the Swing Timer allocates.
+     * @return The lines cleared in the game that just ended.
+     */
+    private int restart() {
+        int lines = board.getLinesCleared();
+        pieceIndex = 0;
+        move = 0;
+        board.start();
+        return lines;
+    }
+
+    /**
+     * One tick (a key press or a timer tick) followed by one frame.
+     */
+    private void step(int index, boolean measure) {
+        long before = threads.getCurrentThreadAllocatedBytes();
+        tick();
+        long after = threads.getCurrentThreadAllocatedBytes();
+        if (measure && (before < 0 || after != before)) {
+            recordFailure(index, after - before, false);
+        }
+
+        before = threads.getCurrentThreadAllocatedBytes();
+        board.paintComponent(boardGraphics);
+        sidePanel.paintComponent(sideGraphics);
+        statusBar.paintComponent(statusGraphics);
+        after = threads.getCurrentThreadAllocatedBytes();
+        if (measure && (before < 0 || after != before)) {
+            recordFailure(index, after - before, true);
+        }
+    }
+
+    /**
+     * Plays the next move of a fixed script: rotate, push against the left
+     * wall, step right to a column that cycles across the board, let the
+     * timer tick a couple of times, then hard drop. With only I pieces the
+     * column steps by one, so each pass across the board clears four lines.
+     */
+    private void tick() {
+        int rotations = pieces.onlyIPieces ? 0 : pieceIndex % 4; // An I spawns standing
+        int column = pieces.onlyIPieces ? pieceIndex % Grid.BOARD_WIDTH
+                : (pieceIndex * 3) % Grid.BOARD_WIDTH;
+
+        int m = move++;
+        if (m < rotations) {
+            input.keyPressed(rotate);
+        } else if ((m -= rotations) < Grid.BOARD_WIDTH) {
+            input.keyPressed(left);
+        } else if ((m -= Grid.BOARD_WIDTH) < column) {
+            input.keyPressed(right);
+        } else if ((m -= column) < 2) {
+            board.actionPerformed(null);
+        } else if (m == 2) {
+            input.keyPressed(down);
+        } else {
+            input.keyPressed(drop);
+            pieceIndex++;
+            move = 0;
+        }
+    }
+
+    private KeyEvent key(int keyCode) {
+        return new KeyEvent(board, KeyEvent.KEY_PRESSED, 0, 0, keyCode, KeyEvent.CHAR_UNDEFINED);
+    }
+
+    private void recordFailure(int index, long bytes, boolean inFrame) {
+        if (failures < MAX_REPORTED) {
+            failedSteps[failures] = index;
+            failedBytes[failures] = bytes;
+            failedInFrame[failures] = inFrame;
+        }
+        failures++;
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.setProperty("java.awt.headless", "true");
+        boolean[] passed = new boolean[1];
+        // Board is a Swing component, so drive it from the Event Dispatch Thread
+        try {
+            SwingUtilities.invokeAndWait(() -> passed[0] = new AllocationGuard().run());
+        } catch (InvocationTargetException e) {
+            System.out.println("FAILED: " + e.getCause().getMessage());
+        }
+        System.exit(passed[0] ? 0 : 1);
+    }
+}
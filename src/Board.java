@@ -1,18 +1,27 @@
 import javax.swing.JPanel;
 import javax.swing.Timer;
 import java.awt.Color;
+import java.awt.Component;
 import java.awt.Graphics;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
-
+import java.util.Random;
+
+/**
+ * The game board: game logic, drawing and input.
+ * After the first few frames, the game's own code for ticks, moves, line
+ * clears and painting allocates nothing; AllocationGuard checks this.
+ * Swing itself still allocates around it: every Timer tick creates an
+ * event, and every repaint() goes through RepaintManager's paint path.
+ */
 public class Board extends JPanel implements ActionListener {
 
     // --- Constants ---
-    // You set this to 15 in the last step
-    private static final int BOARD_WIDTH = 15;
-    private static final int BOARD_HEIGHT = 22; // 22 rows (20 visible)
+    // The grid size and rules live in Grid, shared with HeadlessGame
+    private static final int BOARD_WIDTH = Grid.BOARD_WIDTH;
+    private static final int BOARD_HEIGHT = Grid.BOARD_HEIGHT;
 
     // --- Game Speed (variable) ---
     private int gameSpeed = 300;
@@ -31,22 +40,40 @@ public class Board extends JPanel implements ActionListener {
 
     private Shape curPiece;
     private Shape nextPiece; // --- NEW: For the "Next Piece" preview ---
-    private Tetrominoe[] board;
-    private Tetris parent;
+    private Shape spare; // Reused as the target of rotations
+    private Grid board;
+    private StatusBar statusBar;
+    private Component frame; // Repainted on a new piece, so the SidePanel updates
+    private Random random;
 
     // --- NEW: A color for the "Ghost Piece" ---
-    private static final Color GHOST_COLOR = new Color(80, 80, 80, 150);
+    // (80, 80, 80) at alpha 150, pre-blended over the black background.
+    // Opaque, because drawing with alpha allocates on every frame.
+    private static final Color GHOST_COLOR = new Color(47, 47, 47);
 
 
     public Board(Tetris parent) {
-        this.parent = parent;
+        this(parent.getStatusBar(), parent, new Random());
+    }
+
+    /**
+     * Builds a board without a Tetris window, e.g. for AllocationGuard.
+     * @param statusBar Where the score is shown.
+     * @param frame Repainted whenever a new piece spawns.
+     * @param random Source of the pieces; seed it for a repeatable game.
+     */
+    Board(StatusBar statusBar, Component frame, Random random) {
+        this.statusBar = statusBar;
+        this.frame = frame;
+        this.random = random;
         setFocusable(true);
         setBackground(Color.BLACK);
 
         curPiece = new Shape();
         nextPiece = new Shape(); // --- NEW: Initialize nextPiece ---
+        spare = new Shape();
         timer = new Timer(gameSpeed, this);
-        board = new Tetrominoe[BOARD_WIDTH * BOARD_HEIGHT];
+        board = new Grid();
         addKeyListener(new TAdapter());
     }
 
@@ -58,8 +85,22 @@ public class Board extends JPanel implements ActionListener {
         return nextPiece;
     }
 
+    /**
+     * @return false before the first start() and after Game Over.
+     */
+    boolean isStarted() {
+        return isStarted;
+    }
+
+    /**
+     * @return The lines cleared since the last start().
+     */
+    int getLinesCleared() {
+        return linesClearedTotal;
+    }
+
     private void updateStatusBar() {
-        parent.getStatusBar().setText(" Score: " + score + " | Level: " + level);
+        statusBar.showScore(score, level);
     }
 
     public void start() {
@@ -76,15 +117,15 @@ public class Board extends JPanel implements ActionListener {
         gameSpeed = 300;
         timer.setDelay(gameSpeed);
 
-        clearBoard();
+        board.clear();
 
         // --- NEW: Must generate BOTH pieces at the start ---
-        curPiece.setRandomShape(); // Generate the first piece
-        nextPiece.setRandomShape(); // Generate the "next" piece
+        curPiece.setRandomShape(random); // Generate the first piece
+        nextPiece.setRandomShape(random); // Generate the "next" piece
 
         // Position the first piece
-        curX = BOARD_WIDTH / 2;
-        curY = BOARD_HEIGHT - 1 + curPiece.minY();
+        curX = Grid.spawnX();
+        curY = Grid.spawnY(curPiece);
 
         updateStatusBar();
         timer.start();
@@ -97,7 +138,7 @@ public class Board extends JPanel implements ActionListener {
         isPaused = !isPaused;
         if (isPaused) {
             timer.stop();
-            parent.getStatusBar().setText("Paused");
+            statusBar.showText("Paused");
         } else {
             timer.start();
             updateStatusBar();
@@ -105,12 +146,6 @@ public class Board extends JPanel implements ActionListener {
         repaint();
     }
 
-    private void clearBoard() {
-        for (int i = 0; i < BOARD_HEIGHT * BOARD_WIDTH; i++) {
-            board[i] = Tetrominoe.NoShape;
-        }
-    }
-
     /**
      * Creates a new random piece at the top of the board.
      */
@@ -118,53 +153,31 @@ public class Board extends JPanel implements ActionListener {
         // --- NEW: The "next" piece becomes the "current" piece
         curPiece.setShape(nextPiece.getShape());
         // --- NEW: Generate a new "next" piece
-        nextPiece.setRandomShape();
+        nextPiece.setRandomShape(random);
 
-        curX = BOARD_WIDTH / 2;
-        curY = BOARD_HEIGHT - 1 + curPiece.minY();
+        curX = Grid.spawnX();
+        curY = Grid.spawnY(curPiece);
 
-        if (!checkMove(curPiece, curX, curY)) {
+        if (!board.canPlace(curPiece, curX, curY)) {
             // Game Over
             curPiece.setShape(Tetrominoe.NoShape);
             timer.stop();
             isStarted = false;
-            parent.getStatusBar().setText("Game Over. Score: " + score);
+            statusBar.showGameOver(score);
         }
 
         // --- NEW: We must also tell the SidePanel to repaint ---
-        parent.repaint(); // Repaints the whole frame, including the side panel
-    }
-
-    /**
-     * --- NEW: A "pure" check function that doesn't change game state. ---
-     * This checks if a piece can move to a new position without colliding.
-     * @return true if the move is valid, false otherwise.
-     */
-    private boolean checkMove(Shape piece, int newX, int newY) {
-        for (int i = 0; i < 4; i++) {
-            int x = newX + piece.getX(i);
-            int y = newY - piece.getY(i); // Y-axis is inverted in piece coords
-
-            // Check boundaries
-            if (x < 0 || x >= BOARD_WIDTH || y < 0 || y >= BOARD_HEIGHT) {
-                return false;
-            }
-            // Check for collision with settled pieces
-            if (shapeAt(x, y) != Tetrominoe.NoShape) {
-                return false;
-            }
-        }
-        return true;
+        frame.repaint(); // Repaints the whole frame, including the side panel
     }
 
     /**
-     * --- UPDATED: This now uses checkMove() ---
+     * --- UPDATED: This now uses Grid.canPlace() ---
      * Attempts to move the current piece.
      * @return true if the move was successful, false otherwise.
      */
     private boolean tryMove(Shape newPiece, int newX, int newY) {
         // Use our new "check" function first
-        if (!checkMove(newPiece, newX, newY)) {
+        if (!board.canPlace(newPiece, newX, newY)) {
             return false;
         }
 
@@ -184,28 +197,15 @@ public class Board extends JPanel implements ActionListener {
     }
 
     private void dropDown() {
-        int newY = curY;
-        // Use checkMove to find the bottom
-        while (newY > 0) {
-            if (!checkMove(curPiece, curX, newY - 1)) {
-                break;
-            }
-            newY--;
-        }
-
         // Manually set the new Y and call pieceDropped
-        curY = newY;
+        curY = board.dropY(curPiece, curX, curY);
         repaint();
         pieceDropped();
     }
 
     private void pieceDropped() {
         // Add piece to the board grid
-        for (int i = 0; i < 4; i++) {
-            int x = curX + curPiece.getX(i);
-            int y = curY - curPiece.getY(i);
-            board[y * BOARD_WIDTH + x] = curPiece.getShape();
-        }
+        board.lock(curPiece, curX, curY);
 
         removeFullLines();
 
@@ -215,28 +215,7 @@ public class Board extends JPanel implements ActionListener {
     }
 
     private void removeFullLines() {
-        int numFullLines = 0;
-        for (int i = BOARD_HEIGHT - 1; i >= 0; i--) {
-            boolean lineIsFull = true;
-            for (int j = 0; j < BOARD_WIDTH; j++) {
-                if (shapeAt(j, i) == Tetrominoe.NoShape) {
-                    lineIsFull = false;
-                    break;
-                }
-            }
-            if (lineIsFull) {
-                numFullLines++;
-                for (int k = i; k < BOARD_HEIGHT - 1; k++) {
-                    for (int j = 0; j < BOARD_WIDTH; j++) {
-                        board[k * BOARD_WIDTH + j] = shapeAt(j, k + 1);
-                    }
-                }
-                for (int j = 0; j < BOARD_WIDTH; j++) {
-                    board[(BOARD_HEIGHT - 1) * BOARD_WIDTH + j] = Tetrominoe.NoShape;
-                }
-                i++;
-            }
-        }
+        int numFullLines = board.removeFullLines();
 
         if (numFullLines > 0) {
             int pointsGained = 0;
@@ -277,15 +256,11 @@ public class Board extends JPanel implements ActionListener {
     // --- Drawing ---
 
     private int squareWidth() {
-        return (int) getSize().getWidth() / BOARD_WIDTH;
+        return getWidth() / BOARD_WIDTH; // getSize() would allocate a Dimension
     }
 
     private int squareHeight() {
-        return (int) getSize().getHeight() / BOARD_HEIGHT;
-    }
-
-    private Tetrominoe shapeAt(int x, int y) {
-        return board[y * BOARD_WIDTH + x];
+        return getHeight() / BOARD_HEIGHT;
     }
 
     /**
@@ -293,14 +268,16 @@ public class Board extends JPanel implements ActionListener {
      */
     @Override
     public void paintComponent(Graphics g) {
-        super.paintComponent(g);
+        // Fill the background ourselves: super.paintComponent() copies the Graphics
+        g.setColor(getBackground());
+        g.fillRect(0, 0, getWidth(), getHeight());
 
-        int boardTop = (int) getSize().getHeight() - BOARD_HEIGHT * squareHeight();
+        int boardTop = getHeight() - BOARD_HEIGHT * squareHeight();
 
         // Draw all the settled pieces on the board
         for (int i = 0; i < BOARD_HEIGHT; i++) {
             for (int j = 0; j < BOARD_WIDTH; j++) {
-                Tetrominoe shape = shapeAt(j, BOARD_HEIGHT - 1 - i);
+                Tetrominoe shape = board.shapeAt(j, BOARD_HEIGHT - 1 - i);
                 if (shape != Tetrominoe.NoShape) {
                     drawSquare(g, j * squareWidth(),
                             boardTop + i * squareHeight(), shape, false);
@@ -335,11 +312,8 @@ public class Board extends JPanel implements ActionListener {
             return;
         }
 
-        int ghostY = curY;
         // Find the lowest possible Y position
-        while (checkMove(curPiece, curX, ghostY - 1)) {
-            ghostY--;
-        }
+        int ghostY = board.dropY(curPiece, curX, curY);
 
         // Draw the piece at that ghost position
         for (int i = 0; i < 4; i++) {
@@ -369,11 +343,11 @@ public class Board extends JPanel implements ActionListener {
             // Otherwise, draw the full, lit block
             g.fillRect(x + 1, y + 1, squareWidth() - 2, squareHeight() - 2);
 
-            g.setColor(color.brighter());
+            g.setColor(shape.light);
             g.drawLine(x, y + squareHeight() - 1, x, y);
             g.drawLine(x, y, x + squareWidth() - 1, y);
 
-            g.setColor(color.darker());
+            g.setColor(shape.dark);
             g.drawLine(x + 1, y + squareHeight() - 1,
                     x + squareWidth() - 1, y + squareHeight() - 1);
             g.drawLine(x + squareWidth() - 1, y + squareHeight() - 1,
@@ -408,7 +382,11 @@ public class Board extends JPanel implements ActionListener {
                     oneLineDown();
                     break;
                 case KeyEvent.VK_UP:
-                    tryMove(curPiece.rotateRight(), curX, curY);
+                    // Rotate into the spare Shape; on success the old piece becomes the spare
+                    Shape old = curPiece;
+                    if (tryMove(curPiece.rotateRight(spare), curX, curY)) {
+                        spare = old;
+                    }
                     break;
                 case KeyEvent.VK_SPACE:
                     dropDown();
@@ -0,0 +1,106 @@
+import java.util.Locale;
+
+/**
+ * The weights a bot uses to score a board after placing a piece.
+ * A higher score means a better board. Each weight multiplies one feature:
+ * holes, aggregate height, bumpiness, wells and lines cleared.
+ */
+public class BotWeights {
+
+    public static final int HOLES = 0;
+    public static final int HEIGHT = 1;
+    public static final int BUMPINESS = 2;
+    public static final int WELLS = 3;
+    public static final int LINES = 4;
+    public static final int COUNT = 5;
+
+    public static final String[] NAMES = {"holes", "height", "bumpiness", "wells", "lines"};
+
+    private final double[] values;
+
+    public BotWeights(double[] values) {
+        if (values.length != COUNT) {
+            throw new IllegalArgumentException("Expected " + COUNT + " weights, got " + values.length);
+        }
+        this.values = values.clone();
+    }
+
+    /**
+     * A hand-picked starting point: punish holes, height and bumpiness, reward lines.
+     */
+    public static BotWeights defaults() {
+        return new BotWeights(new double[]{-0.36, -0.51, -0.18, -0.10, 0.76});
+    }
+
+    public double get(int index) {
+        return values[index];
+    }
+
+    public double[] toArray() {
+        return values.clone();
+    }
+
+    /**
+     * Scores a settled board.
+     * @param board The settled blocks.
+     * @param linesCleared How many lines the placement just cleared.
+     * @param heights Scratch buffer of length BOARD_WIDTH, overwritten.
+     */
+    public double evaluate(Grid board, int linesCleared, int[] heights) {
+        int width = Grid.BOARD_WIDTH;
+        int height = Grid.BOARD_HEIGHT;
+
+        // Column heights and holes (empty cells below the top of a column)
+        int holes = 0;
+        int aggregateHeight = 0;
+        for (int x = 0; x < width; x++) {
+            int h = 0;
+            for (int y = height - 1; y >= 0; y--) {
+                if (board.shapeAt(x, y) != Tetrominoe.NoShape) {
+                    h = y + 1;
+                    break;
+                }
+            }
+            heights[x] = h;
+            aggregateHeight += h;
+            for (int y = 0; y < h - 1; y++) {
+                if (board.shapeAt(x, y) == Tetrominoe.NoShape) {
+                    holes++;
+                }
+            }
+        }
+
+        // Bumpiness and wells (the walls count as full columns)
+        int bumpiness = 0;
+        int wells = 0;
+        for (int x = 0; x < width; x++) {
+            if (x > 0) {
+                bumpiness += Math.abs(heights[x] - heights[x - 1]);
+            }
+            int left = x > 0 ? heights[x - 1] : height;
+            int right = x < width - 1 ? heights[x + 1] : height;
+            int depth = Math.min(left, right) - heights[x];
+            if (depth > 0) {
+                wells += depth;
+            }
+        }
+
+        return values[HOLES] * holes
+                + values[HEIGHT] * aggregateHeight
+                + values[BUMPINESS] * bumpiness
+                + values[WELLS] * wells
+                + values[LINES] * linesCleared;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < COUNT; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(NAMES[i]).append('=').append(String.format(Locale.ROOT, "%.4f", values[i]));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,122 @@
+/**
+ * The grid of settled blocks and the rules for moving pieces on it:
+ * spawn position, collision, locking a piece and clearing full lines.
+ * It has no Swing code, so both Board and HeadlessGame play on it.
+ * Row 0 is the bottom of the board.
+ */
+public class Grid {
+
+    // You set this to 15 in the last step
+    public static final int BOARD_WIDTH = 15;
+    public static final int BOARD_HEIGHT = 22; // 22 rows (20 visible)
+
+    private final Tetrominoe[] cells = new Tetrominoe[BOARD_WIDTH * BOARD_HEIGHT];
+
+    public Grid() {
+        clear();
+    }
+
+    public void clear() {
+        for (int i = 0; i < BOARD_HEIGHT * BOARD_WIDTH; i++) {
+            cells[i] = Tetrominoe.NoShape;
+        }
+    }
+
+    /**
+     * Overwrites this grid with the blocks of another one.
+     */
+    public void copyFrom(Grid other) {
+        System.arraycopy(other.cells, 0, cells, 0, cells.length);
+    }
+
+    public Tetrominoe shapeAt(int x, int y) {
+        return cells[y * BOARD_WIDTH + x];
+    }
+
+    // --- Spawn position ---
+
+    public static int spawnX() {
+        return BOARD_WIDTH / 2;
+    }
+
+    /**
+     * @return The Y that puts the top block of the piece on the top row.
+     */
+    public static int spawnY(Shape piece) {
+        return BOARD_HEIGHT - 1 + piece.minY();
+    }
+
+    // --- Rules ---
+
+    /**
+     * A "pure" check that doesn't change the grid.
+     * @return true if the piece fits at (newX, newY) without colliding.
+     */
+    public boolean canPlace(Shape piece, int newX, int newY) {
+        for (int i = 0; i < 4; i++) {
+            int x = newX + piece.getX(i);
+            int y = newY - piece.getY(i); // Y-axis is inverted in piece coords
+
+            // Check boundaries
+            if (x < 0 || x >= BOARD_WIDTH || y < 0 || y >= BOARD_HEIGHT) {
+                return false;
+            }
+            // Check for collision with settled pieces
+            if (shapeAt(x, y) != Tetrominoe.NoShape) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return The lowest Y the piece can fall to from (x, y).
+     */
+    public int dropY(Shape piece, int x, int y) {
+        while (y > 0 && canPlace(piece, x, y - 1)) {
+            y--;
+        }
+        return y;
+    }
+
+    /**
+     * Adds the piece's blocks to the grid.
+     */
+    public void lock(Shape piece, int curX, int curY) {
+        for (int i = 0; i < 4; i++) {
+            int x = curX + piece.getX(i);
+            int y = curY - piece.getY(i);
+            cells[y * BOARD_WIDTH + x] = piece.getShape();
+        }
+    }
+
+    /**
+     * Removes full lines and shifts everything above them down.
+     * @return The number of lines removed.
+     */
+    public int removeFullLines() {
+        int numFullLines = 0;
+        for (int i = BOARD_HEIGHT - 1; i >= 0; i--) {
+            boolean lineIsFull = true;
+            for (int j = 0; j < BOARD_WIDTH; j++) {
+                if (shapeAt(j, i) == Tetrominoe.NoShape) {
+                    lineIsFull = false;
+                    break;
+                }
+            }
+            if (lineIsFull) {
+                numFullLines++;
+                for (int k = i; k < BOARD_HEIGHT - 1; k++) {
+                    for (int j = 0; j < BOARD_WIDTH; j++) {
+                        cells[k * BOARD_WIDTH + j] = shapeAt(j, k + 1);
+                    }
+                }
+                for (int j = 0; j < BOARD_WIDTH; j++) {
+                    cells[(BOARD_HEIGHT - 1) * BOARD_WIDTH + j] = Tetrominoe.NoShape;
+                }
+                i++;
+            }
+        }
+        return numFullLines;
+    }
+}
@@ -0,0 +1,96 @@
+import java.util.Random;
+
+/**
+ * A Tetris game with no window and no timer, played by a bot.
+ * It plays on a Grid, the same class Board uses for spawn position,
+ * collision and line clearing, so the tuner scores weights on the real rules.
+ * Pieces come from a seeded Random, so the same seed always gives the same game.
+ */
+public class HeadlessGame {
+
+    private final Grid board = new Grid();
+    private final Grid scratch = new Grid();
+    private final int[] heights = new int[Grid.BOARD_WIDTH];
+
+    private final Shape curPiece = new Shape();
+    private final Shape nextPiece = new Shape();
+    private final Shape[] rotations = {new Shape(), new Shape(), new Shape(), new Shape()};
+
+    private int linesClearedTotal = 0;
+    private int piecesPlaced = 0;
+
+    /**
+     * Plays one game from start to game over, or until maxPieces have locked.
+     * @return The number of lines cleared.
+     */
+    public int play(BotWeights weights, long seed, int maxPieces) {
+        Random random = new Random(seed);
+        board.clear();
+        linesClearedTotal = 0;
+        piecesPlaced = 0;
+
+        curPiece.setRandomShape(random);
+        nextPiece.setRandomShape(random);
+
+        while (piecesPlaced < maxPieces) {
+            if (!placeBest(weights)) {
+                break; // Game Over
+            }
+            piecesPlaced++;
+            curPiece.setShape(nextPiece.getShape());
+            nextPiece.setRandomShape(random);
+        }
+        return linesClearedTotal;
+    }
+
+    public int getPiecesPlaced() {
+        return piecesPlaced;
+    }
+
+    /**
+     * Tries every rotation and column for the current piece, keeps the one
+     * the weights like best and locks it into the board.
+     * @return false if the piece can't spawn (Game Over).
+     */
+    private boolean placeBest(BotWeights weights) {
+        // Same spawn check as Board.newPiece()
+        if (!board.canPlace(curPiece, Grid.spawnX(), Grid.spawnY(curPiece))) {
+            return false;
+        }
+
+        Shape best = null;
+        int bestX = 0;
+        int bestY = 0;
+        double bestScore = Double.NEGATIVE_INFINITY;
+
+        Shape piece = curPiece;
+        for (int r = 0; r < 4; r++) {
+            int spawnY = Grid.spawnY(piece);
+            for (int x = 0; x < Grid.BOARD_WIDTH; x++) {
+                if (!board.canPlace(piece, x, spawnY)) {
+                    continue;
+                }
+                int y = board.dropY(piece, x, spawnY);
+
+                scratch.copyFrom(board);
+                scratch.lock(piece, x, y);
+                int lines = scratch.removeFullLines();
+                double score = weights.evaluate(scratch, lines, heights);
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = piece;
+                    bestX = x;
+                    bestY = y;
+                }
+            }
+            piece = piece.rotateRight(rotations[r]);
+        }
+
+        if (best == null) {
+            return false;
+        }
+        board.lock(best, bestX, bestY);
+        linesClearedTotal += board.removeFullLines();
+        return true;
+    }
+}
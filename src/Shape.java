@@ -6,6 +6,9 @@ import java.util.Random;
  */
 public class Shape {
 
+    // values() returns a fresh copy on every call
+    private static final Tetrominoe[] VALUES = Tetrominoe.values();
+
     private Tetrominoe pieceShape;
     private int[][] coords; // Coordinates of the 4 blocks [4][2]
 
@@ -27,13 +30,13 @@ public class Shape {
     }
 
     /**
-     * Sets the shape to a new random Tetromino.
+     * Sets the shape to a new random Tetromino drawn from the given generator.
+     * Board and HeadlessGame each own one, so a seed replays the same game.
+     * @param r The random generator to draw from.
      */
-    public void setRandomShape() {
-        Random r = new Random();
+    public void setRandomShape(Random r) {
         int x = Math.abs(r.nextInt()) % 7 + 1; // 1 to 7
-        Tetrominoe[] values = Tetrominoe.values();
-        setShape(values[x]);
+        setShape(VALUES[x]);
     }
 
     // --- Getters for coordinates ---
@@ -70,41 +73,37 @@ public class Shape {
     }
 
     /**
-     * Rotates the piece 90 degrees left.
+     * Rotates the piece 90 degrees left into an existing Shape, without allocating.
      * Formula: (x, y) -> (y, -x)
-     * @return A new Shape object with the rotated coordinates.
+     * An O-Shape doesn't rotate; it is copied as-is.
+     * @param result The Shape to overwrite. Must not be this Shape.
+     * @return result, holding the rotated coordinates.
      */
-    public Shape rotateLeft() {
-        if (pieceShape == Tetrominoe.OShape) {
-            return this; // O-Shape doesn't rotate
-        }
-
-        Shape result = new Shape();
+    public Shape rotateLeft(Shape result) {
         result.pieceShape = this.pieceShape;
+        boolean rotates = pieceShape != Tetrominoe.OShape;
 
         for (int i = 0; i < 4; i++) {
-            result.setX(i, getY(i));
-            result.setY(i, -getX(i));
+            result.setX(i, rotates ? getY(i) : getX(i));
+            result.setY(i, rotates ? -getX(i) : getY(i));
         }
         return result;
     }
 
     /**
-     * Rotates the piece 90 degrees right.
+     * Rotates the piece 90 degrees right into an existing Shape, without allocating.
      * Formula: (x, y) -> (-y, x)
-     * @return A new Shape object with the rotated coordinates.
+     * An O-Shape doesn't rotate; it is copied as-is.
+     * @param result The Shape to overwrite. Must not be this Shape.
+     * @return result, holding the rotated coordinates.
      */
-    public Shape rotateRight() {
-        if (pieceShape == Tetrominoe.OShape) {
-            return this; // O-Shape doesn't rotate
-        }
-
-        Shape result = new Shape();
+    public Shape rotateRight(Shape result) {
         result.pieceShape = this.pieceShape;
+        boolean rotates = pieceShape != Tetrominoe.OShape;
 
         for (int i = 0; i < 4; i++) {
-            result.setX(i, -getY(i));
-            result.setY(i, getX(i));
+            result.setX(i, rotates ? -getY(i) : getX(i));
+            result.setY(i, rotates ? getX(i) : getY(i));
         }
         return result;
     }
@@ -1,5 +1,6 @@
 import javax.swing.JPanel;
 import java.awt.Color;
+import java.awt.Font;
 import java.awt.Graphics;
 import java.awt.Dimension;
 
@@ -9,6 +10,7 @@ import java.awt.Dimension;
 public class SidePanel extends JPanel {
 
     private Board board; // A reference to the main game board
+    private Font titleFont; // Derived once on the first paint
 
     // We'll set the size of this panel
     private static final int PANEL_WIDTH = 120;
@@ -22,11 +24,16 @@ public class SidePanel extends JPanel {
 
     @Override
     protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
+        // Fill the background ourselves: super.paintComponent() copies the Graphics
+        g.setColor(getBackground());
+        g.fillRect(0, 0, getWidth(), getHeight());
 
         // Draw "NEXT" text
         g.setColor(Color.WHITE);
-        g.setFont(g.getFont().deriveFont(18f));
+        if (titleFont == null) {
+            titleFont = g.getFont().deriveFont(18f);
+        }
+        g.setFont(titleFont);
         g.drawString("NEXT", 20, 30);
 
         // Get the next piece from the board
@@ -53,22 +60,22 @@ public class SidePanel extends JPanel {
         for (int i = 0; i < 4; i++) {
             int x = drawX + nextPiece.getX(i) * squareSize;
             int y = drawY - nextPiece.getY(i) * squareSize; // Y-axis is inverted
-            drawSquare(g, x, y, squareSize, nextPiece.getShape().color);
+            drawSquare(g, x, y, squareSize, nextPiece.getShape());
         }
     }
 
     /**
      * A simpler drawSquare method for the preview panel.
      */
-    private void drawSquare(Graphics g, int x, int y, int squareSize, Color color) {
-        g.setColor(color);
+    private void drawSquare(Graphics g, int x, int y, int squareSize, Tetrominoe shape) {
+        g.setColor(shape.color);
         g.fillRect(x + 1, y + 1, squareSize - 2, squareSize - 2);
 
-        g.setColor(color.brighter());
+        g.setColor(shape.light);
         g.drawLine(x, y + squareSize - 1, x, y);
         g.drawLine(x, y, x + squareSize - 1, y);
 
-        g.setColor(color.darker());
+        g.setColor(shape.dark);
         g.drawLine(x + 1, y + squareSize - 1, x + squareSize - 1, y + squareSize - 1);
         g.drawLine(x + squareSize - 1, y + squareSize - 1, x + squareSize - 1, y + 1);
     }
@@ -0,0 +1,132 @@
+import javax.swing.JComponent;
+import javax.swing.UIManager;
+import java.awt.Dimension;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.Toolkit;
+import java.util.Map;
+
+/**
+ * The status line under the board ("Score: 10 | Level: 1", "Paused", ...).
+ * Replaces a JLabel so that updating the score doesn't build new Strings:
+ * the text is written into a reused char buffer and drawn with drawChars().
+ */
+public class StatusBar extends JComponent {
+
+    private static final String SCORE = " Score: ";
+    private static final String LEVEL = " | Level: ";
+    private static final String GAME_OVER = "Game Over. Score: ";
+
+    private final char[] text = new char[64];
+    private int length = 0;
+
+    // Font ascent, looked up on the first paint
+    private int ascent = -1;
+
+    // The desktop's text antialiasing settings, which JLabel would have applied.
+    // Kept as key/value pairs: addRenderingHints(Map) allocates on every call.
+    private final RenderingHints.Key[] hintKeys;
+    private final Object[] hintValues;
+
+    public StatusBar() {
+        setFont(UIManager.getFont("Label.font"));
+        setForeground(UIManager.getColor("Label.foreground"));
+        showScore(0, 1);
+
+        // null when there are none (e.g. headless)
+        Map<?, ?> hints = (Map<?, ?>) Toolkit.getDefaultToolkit().getDesktopProperty("awt.font.desktophints");
+        int n = hints == null ? 0 : hints.size();
+        hintKeys = new RenderingHints.Key[n];
+        hintValues = new Object[n];
+        if (hints != null) {
+            int i = 0;
+            for (Map.Entry<?, ?> hint : hints.entrySet()) {
+                hintKeys[i] = (RenderingHints.Key) hint.getKey();
+                hintValues[i] = hint.getValue();
+                i++;
+            }
+        }
+    }
+
+    /**
+     * Shows " Score: [score] | Level: [level]".
+     */
+    public void showScore(int score, int level) {
+        length = 0;
+        append(SCORE);
+        append(score);
+        append(LEVEL);
+        append(level);
+        repaint();
+    }
+
+    /**
+     * Shows "Game Over. Score: [score]".
+     */
+    public void showGameOver(int score) {
+        length = 0;
+        append(GAME_OVER);
+        append(score);
+        repaint();
+    }
+
+    /**
+     * Shows a fixed message, like "Paused".
+     */
+    public void showText(String message) {
+        length = 0;
+        append(message);
+        repaint();
+    }
+
+    // --- Buffer helpers ---
+
+    private void append(String s) {
+        int n = Math.min(s.length(), text.length - length);
+        s.getChars(0, n, text, length);
+        length += n;
+    }
+
+    private void append(int value) {
+        if (value < 0) {
+            text[length++] = '-';
+            value = -value;
+        }
+        // Write the digits backwards, then flip them
+        int start = length;
+        do {
+            text[length++] = (char) ('0' + value % 10);
+            value /= 10;
+        } while (value > 0);
+        for (int i = start, j = length - 1; i < j; i++, j--) {
+            char c = text[i];
+            text[i] = text[j];
+            text[j] = c;
+        }
+    }
+
+    // --- Drawing ---
+
+    @Override
+    public Dimension getPreferredSize() {
+        FontMetrics fm = getFontMetrics(getFont());
+        return new Dimension(fm.charsWidth(text, 0, length), fm.getHeight());
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        // No super.paintComponent(): like Board and SidePanel, skip the Graphics
+        // copy it makes. The bar isn't opaque, so there's no background to fill.
+        for (int i = 0; i < hintKeys.length; i++) {
+            ((Graphics2D) g).setRenderingHint(hintKeys[i], hintValues[i]);
+        }
+        g.setFont(getFont());
+        g.setColor(getForeground());
+        if (ascent < 0) {
+            ascent = g.getFontMetrics().getAscent();
+        }
+        g.drawChars(text, 0, length, 0, ascent);
+    }
+}
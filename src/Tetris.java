@@ -1,5 +1,4 @@
 import javax.swing.JFrame;
-import javax.swing.JLabel;
 import java.awt.BorderLayout;
 
 /**
@@ -8,14 +7,14 @@ import java.awt.BorderLayout;
  */
 public class Tetris extends JFrame {
 
-    private JLabel statusBar;
+    private StatusBar statusBar;
 
     public Tetris() {
         // Set the layout for the main window
         setLayout(new BorderLayout());
 
-        // Create the status bar label
-        statusBar = new JLabel(" Score: 0 | Level: 1");
+        // Create the status bar
+        statusBar = new StatusBar();
         add(statusBar, BorderLayout.SOUTH); // Add it to the bottom of the window
 
         // Create the game board
@@ -47,9 +46,9 @@ public class Tetris extends JFrame {
 
     /**
      * A getter for the Board class to update the score.
-     * @return The JLabel used as a status bar.
+     * @return The status bar under the board.
      */
-    public JLabel getStatusBar() {
+    public StatusBar getStatusBar() {
         return statusBar;
     }
 
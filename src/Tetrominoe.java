@@ -18,9 +18,14 @@ public enum Tetrominoe {
 
     public final int[][] coords;
     public final Color color;
+    // Edge shades for the lit block look, made once instead of on every paint
+    public final Color light;
+    public final Color dark;
 
     Tetrominoe(int[][] coords, Color c) {
         this.coords = coords;
         this.color = c;
+        this.light = c.brighter();
+        this.dark = c.darker();
     }
 }
\ No newline at end of file
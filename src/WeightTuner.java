@@ -0,0 +1,396 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Evolves BotWeights with a genetic algorithm.
+ * Every candidate plays the same fixed-seed games in HeadlessGame and its
+ * fitness is the average number of lines cleared. The population is saved to
+ * a checkpoint file after every generation so a run can be stopped and resumed.
+ *
+ * Each game is its own task on a pool with one thread per core, so a
+ * generation can keep up to POPULATION_SIZE * GAMES_PER_CANDIDATE cores busy.
+ * Past that, or when one long game outlasts the rest, time per generation
+ * stops dropping with more cores: a generation ends with its slowest game.
+ * Games are long, at about 50 microseconds per piece: a game that hits
+ * MAX_PIECES_PER_GAME takes about 50 s, and generations get slower as the
+ * weights improve (on one core, about 8 s for generation 0 and 47 s for 1).
+ *
+ * Usage: java WeightTuner [checkpointFile] [generations]
+ */
+public class WeightTuner {
+
+    // --- Tuning parameters ---
+    private static final int POPULATION_SIZE = 24;
+    private static final int ELITE_COUNT = 2;
+    private static final int TOURNAMENT_SIZE = 3;
+    private static final double MUTATION_RATE = 0.3;
+    private static final double MUTATION_SIGMA = 0.2;
+
+    private static final int GAMES_PER_CANDIDATE = 8;
+    // Only guards against a game that never ends; capped games are logged
+    private static final int MAX_PIECES_PER_GAME = 1_000_000;
+    private static final long GAME_SEED_BASE = 20240601L;
+    private static final long BREEDING_SEED = 7L;
+
+    // --- Early cutoff ---
+    // After this many games, a candidate averaging below CUTOFF_FRACTION of the
+    // previous generation's best is clearly losing and stops playing.
+    private static final int MIN_GAMES_BEFORE_CUTOFF = 2;
+    private static final double CUTOFF_FRACTION = 0.25;
+
+    private final Path checkpointFile;
+    private final ExecutorService pool;
+
+    private int generation = 0;
+    private double bestFitness = 0;
+    private List<Candidate> population = new ArrayList<>();
+
+    /**
+     * One set of weights and its fitness (NaN until it has been played).
+     * While it is being played, its games run as separate tasks and report
+     * back through the synchronized methods.
+     */
+    static class Candidate {
+        final BotWeights weights;
+        double fitness;
+        boolean cutOff;
+        int cappedGames; // Games that reached MAX_PIECES_PER_GAME
+
+        // Lines per game while being evaluated, -1 until that game finishes
+        private int[] gameLines;
+        private boolean[] gameCapped;
+        private int gamesCounted; // Cut off after this many games, or all of them
+
+        Candidate(BotWeights weights, double fitness) {
+            this.weights = weights;
+            this.fitness = fitness;
+        }
+
+        boolean isEvaluated() {
+            return !Double.isNaN(fitness);
+        }
+
+        synchronized void startEvaluation() {
+            gameLines = new int[GAMES_PER_CANDIDATE];
+            Arrays.fill(gameLines, -1);
+            gameCapped = new boolean[GAMES_PER_CANDIDATE];
+            gamesCounted = GAMES_PER_CANDIDATE;
+            cutOff = false;
+        }
+
+        /**
+         * @return false if the candidate was cut off before this game.
+         */
+        synchronized boolean shouldPlay(int game) {
+            return game < gamesCounted;
+        }
+
+        /**
+         * Records one game, then checks the cutoff on the games finished so
+         * far, in seed order. Checking in order (not in finishing order) keeps
+         * the result the same however the tasks were scheduled.
+         */
+        synchronized void record(int game, int lines, boolean capped, double cutoff) {
+            gameLines[game] = lines;
+            gameCapped[game] = capped;
+            if (cutOff) {
+                return;
+            }
+            int totalLines = 0;
+            for (int i = 0; i < GAMES_PER_CANDIDATE - 1 && gameLines[i] >= 0; i++) {
+                totalLines += gameLines[i];
+                int gamesPlayed = i + 1;
+                if (gamesPlayed >= MIN_GAMES_BEFORE_CUTOFF && (double) totalLines / gamesPlayed < cutoff) {
+                    cutOff = true;
+                    gamesCounted = gamesPlayed;
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Sets the fitness to the average over the games that count.
+         */
+        synchronized void finishEvaluation() {
+            int totalLines = 0;
+            cappedGames = 0;
+            for (int i = 0; i < gamesCounted; i++) {
+                totalLines += gameLines[i];
+                if (gameCapped[i]) {
+                    cappedGames++;
+                }
+            }
+            fitness = (double) totalLines / gamesCounted;
+            gameLines = null;
+            gameCapped = null;
+        }
+    }
+
+    public WeightTuner(Path checkpointFile, int threads) {
+        this.checkpointFile = checkpointFile;
+        this.pool = Executors.newFixedThreadPool(threads);
+    }
+
+    /**
+     * Runs until the given number of generations have been evaluated.
+     */
+    public void run(int generations) throws IOException, InterruptedException {
+        if (Files.exists(checkpointFile)) {
+            loadCheckpoint();
+            System.out.println("Resuming from " + checkpointFile + " at generation " + generation);
+        } else {
+            population = initialPopulation();
+        }
+
+        try {
+            while (generation < generations) {
+                long start = System.nanoTime();
+                int played = evaluate(population);
+                population.sort(Comparator.comparingDouble((Candidate c) -> c.fitness).reversed());
+
+                Candidate best = population.get(0);
+                bestFitness = best.fitness;
+                long millis = (System.nanoTime() - start) / 1_000_000;
+                int capped = 0;
+                for (Candidate c : population) {
+                    capped += c.cappedGames;
+                }
+                System.out.printf(Locale.ROOT, "Generation %d: best %.2f lines (%s), %d candidates played in %d ms,"
+                                + " %d games hit the piece cap%n",
+                        generation, best.fitness, best.weights, played, millis, capped);
+
+                population = breed(population, new Random(BREEDING_SEED * 31 + generation));
+                generation++;
+                saveCheckpoint();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // The elites are kept at the front of the population
+        System.out.println("Best weights: " + population.get(0).weights);
+    }
+
+    // --- Evaluation ---
+
+    /**
+     * Scores every candidate that doesn't have a fitness yet, one task per game.
+     * @return How many candidates were played.
+     */
+    private int evaluate(List<Candidate> candidates) throws InterruptedException {
+        double cutoff = bestFitness * CUTOFF_FRACTION;
+        List<Candidate> pending = new ArrayList<>();
+        for (Candidate c : candidates) {
+            if (!c.isEvaluated()) {
+                c.startEvaluation();
+                pending.add(c);
+            }
+        }
+
+        // Everyone's first games are queued before anyone's last, so a clearly
+        // losing candidate is cut off before most of its games have started
+        List<Future<?>> results = new ArrayList<>();
+        for (int game = 0; game < GAMES_PER_CANDIDATE; game++) {
+            int g = game;
+            for (Candidate c : pending) {
+                results.add(pool.submit(() -> playGame(c, g, cutoff)));
+            }
+        }
+        for (Future<?> result : results) {
+            try {
+                result.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Candidate evaluation failed", e.getCause());
+            }
+        }
+
+        for (Candidate c : pending) {
+            c.finishEvaluation();
+        }
+        return pending.size();
+    }
+
+    /**
+     * Plays one of the fixed games for a candidate, unless it's already cut off.
+     */
+    private static void playGame(Candidate candidate, int game, double cutoff) {
+        if (!candidate.shouldPlay(game)) {
+            return;
+        }
+        HeadlessGame headless = new HeadlessGame();
+        int lines = headless.play(candidate.weights, GAME_SEED_BASE + game, MAX_PIECES_PER_GAME);
+        candidate.record(game, lines, headless.getPiecesPlaced() == MAX_PIECES_PER_GAME, cutoff);
+    }
+
+    // --- Genetic operators ---
+
+    private static List<Candidate> initialPopulation() {
+        Random random = new Random(BREEDING_SEED);
+        List<Candidate> result = new ArrayList<>();
+        result.add(new Candidate(BotWeights.defaults(), Double.NaN));
+        while (result.size() < POPULATION_SIZE) {
+            double[] w = new double[BotWeights.COUNT];
+            for (int i = 0; i < w.length; i++) {
+                w[i] = random.nextDouble() * 2 - 1;
+            }
+            result.add(new Candidate(new BotWeights(normalize(w)), Double.NaN));
+        }
+        return result;
+    }
+
+    /**
+     * Builds the next generation from a population sorted best first.
+     * The elites are carried over with their fitness, so they aren't replayed.
+     */
+    private static List<Candidate> breed(List<Candidate> sorted, Random random) {
+        List<Candidate> next = new ArrayList<>();
+        for (int i = 0; i < ELITE_COUNT && i < sorted.size(); i++) {
+            Candidate elite = sorted.get(i);
+            // A cut-off score is only partial, so play it again in full
+            next.add(new Candidate(elite.weights, elite.cutOff ? Double.NaN : elite.fitness));
+        }
+
+        while (next.size() < POPULATION_SIZE) {
+            Candidate a = tournament(sorted, random);
+            Candidate b = tournament(sorted, random);
+            double[] wa = a.weights.toArray();
+            double[] wb = b.weights.toArray();
+
+            // Fitness-weighted average crossover
+            double fa = Math.max(a.fitness, 0);
+            double fb = Math.max(b.fitness, 0);
+            double ratio = fa + fb > 0 ? fa / (fa + fb) : 0.5;
+            double[] child = new double[BotWeights.COUNT];
+            for (int i = 0; i < child.length; i++) {
+                child[i] = wa[i] * ratio + wb[i] * (1 - ratio);
+                if (random.nextDouble() < MUTATION_RATE) {
+                    child[i] += random.nextGaussian() * MUTATION_SIGMA;
+                }
+            }
+            next.add(new Candidate(new BotWeights(normalize(child)), Double.NaN));
+        }
+        return next;
+    }
+
+    private static Candidate tournament(List<Candidate> candidates, Random random) {
+        Candidate best = null;
+        for (int i = 0; i < TOURNAMENT_SIZE; i++) {
+            Candidate c = candidates.get(random.nextInt(candidates.size()));
+            if (best == null || c.fitness > best.fitness) {
+                best = c;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Scales the weights to unit length. Only the direction matters to the bot,
+     * so this keeps the search from drifting.
+     */
+    private static double[] normalize(double[] w) {
+        double length = 0;
+        for (double v : w) {
+            length += v * v;
+        }
+        length = Math.sqrt(length);
+        if (length == 0) {
+            return BotWeights.defaults().toArray();
+        }
+        for (int i = 0; i < w.length; i++) {
+            w[i] /= length;
+        }
+        return w;
+    }
+
+    // --- Checkpointing ---
+
+    /**
+     * Writes the population to a temporary file and moves it over the
+     * checkpoint, so an interrupted write never leaves a broken checkpoint.
+     */
+    private void saveCheckpoint() throws IOException {
+        Path absolute = checkpointFile.toAbsolutePath();
+        Path tmp = absolute.resolveSibling(absolute.getFileName() + ".tmp");
+        try (BufferedWriter out = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            out.write("# WeightTuner checkpoint: fitness followed by " + String.join(" ", BotWeights.NAMES));
+            out.newLine();
+            out.write("generation " + generation);
+            out.newLine();
+            out.write("best " + bestFitness);
+            out.newLine();
+            for (Candidate c : population) {
+                StringBuilder line = new StringBuilder("candidate ").append(c.fitness);
+                for (double w : c.weights.toArray()) {
+                    line.append(' ').append(w);
+                }
+                out.write(line.toString());
+                out.newLine();
+            }
+        }
+        try {
+            Files.move(tmp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, absolute, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private void loadCheckpoint() throws IOException {
+        population = new ArrayList<>();
+        for (String line : Files.readAllLines(checkpointFile, StandardCharsets.UTF_8)) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] parts = line.split("\\s+");
+            switch (parts[0]) {
+                case "generation":
+                    generation = Integer.parseInt(parts[1]);
+                    break;
+                case "best":
+                    bestFitness = Double.parseDouble(parts[1]);
+                    break;
+                case "candidate":
+                    if (parts.length != BotWeights.COUNT + 2) {
+                        throw new IOException("Bad candidate line in checkpoint: " + line);
+                    }
+                    double fitness = Double.parseDouble(parts[1]);
+                    double[] w = new double[BotWeights.COUNT];
+                    for (int i = 0; i < w.length; i++) {
+                        w[i] = Double.parseDouble(parts[i + 2]);
+                    }
+                    population.add(new Candidate(new BotWeights(w), fitness));
+                    break;
+                default:
+                    throw new IOException("Unknown checkpoint entry: " + parts[0]);
+            }
+        }
+        if (population.isEmpty()) {
+            throw new IOException("Checkpoint has no candidates: " + checkpointFile);
+        }
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Path checkpoint = Paths.get(args.length > 0 ? args[0] : "tuner-checkpoint.txt");
+        int generations = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        int threads = Runtime.getRuntime().availableProcessors();
+
+        System.out.println("Tuning on " + threads + " threads, checkpoint: " + checkpoint);
+        new WeightTuner(checkpoint, threads).run(generations);
+    }
+}